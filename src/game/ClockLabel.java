@@ -0,0 +1,44 @@
+package game;
+
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Insets;
+import javax.swing.JComponent;
+
+// ClockLabel.java - Shows the reading of a GameClock as "Time: m:ss.mmm"
+// Repainted at frame rate while a game runs, so the text is built in a reused
+// char buffer and drawn directly instead of going through JLabel.setText.
+class ClockLabel extends JComponent {
+
+    private static final char[] PREFIX = "Time: ".toCharArray();
+
+    private final GameClock clock;
+    private final char[] buf = new char[32];
+
+    public ClockLabel(GameClock clock) {
+        this.clock = clock;
+        System.arraycopy(PREFIX, 0, buf, 0, PREFIX.length);
+        setOpaque(false);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        FontMetrics fm = getFontMetrics(getFont());
+        Insets in = getInsets();
+        // wide enough for "Time: 00:00.000"
+        return new Dimension(fm.stringWidth("Time: 00:00.000") + in.left + in.right,
+                fm.getHeight() + in.top + in.bottom);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int len = GameClock.format(clock.elapsedMillis(), buf, PREFIX.length);
+        g.setFont(getFont());
+        g.setColor(getForeground());
+        FontMetrics fm = g.getFontMetrics();
+        int x = (getWidth() - fm.charsWidth(buf, 0, len)) / 2;
+        int y = (getHeight() - fm.getHeight()) / 2 + fm.getAscent();
+        g.drawChars(buf, 0, len, x, y);
+    }
+}
@@ -0,0 +1,132 @@
+package game;
+
+import java.util.Arrays;
+
+// GameClock.java - Monotonic game clock for timed play
+// Measures with System.nanoTime so it does not drift with EDT load or wall clock changes.
+// Supports pausing (e.g. while help is shown) and records a split every time a pair is matched.
+class GameClock {
+
+    // startNanos: when the clock was last started
+    // pausedNanos: total time spent paused since start
+    // pauseStart / stopNanos: when the current pause or the stop began
+    private long startNanos, pausedNanos, pauseStart, stopNanos;
+    private boolean started, running, paused;
+
+    // splits: elapsed millis at each matched pair, in order
+    private long[] splits = new long[18];
+    private int splitCount;
+
+    // Starts timing a new game from zero
+    public synchronized void start() {
+        reset();
+        startNanos = System.nanoTime();
+        started = running = true;
+    }
+
+    // Stops the clock at its current reading, e.g. when the game is won
+    public synchronized void stop() {
+        if (running) {
+            stopNanos = paused ? pauseStart : System.nanoTime();
+            running = false;
+            paused = false;
+        }
+    }
+
+    // Clears the reading and all splits; the clock stays stopped
+    public synchronized void reset() {
+        startNanos = stopNanos = pausedNanos = 0;
+        started = running = paused = false;
+        splitCount = 0;
+    }
+
+    // Freezes the reading without ending the game
+    public synchronized void pause() {
+        if (running && !paused) {
+            pauseStart = System.nanoTime();
+            paused = true;
+        }
+    }
+
+    // Continues after pause(); the paused time is not counted
+    public synchronized void resume() {
+        if (running && paused) {
+            pausedNanos += System.nanoTime() - pauseStart;
+            paused = false;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    // Returns the playing time so far in nanoseconds
+    public synchronized long elapsedNanos() {
+        if (!started) {
+            return 0;
+        }
+        long now = !running ? stopNanos : paused ? pauseStart : System.nanoTime();
+        return now - startNanos - pausedNanos;
+    }
+
+    public long elapsedMillis() {
+        return elapsedNanos() / 1000000;
+    }
+
+    // Records the current reading as the split for the pair just matched
+    public synchronized void split() {
+        if (!running) {
+            return;
+        }
+        if (splitCount == splits.length) {
+            splits = Arrays.copyOf(splits, splitCount * 2);
+        }
+        splits[splitCount++] = elapsedMillis();
+    }
+
+    public synchronized int getSplitCount() {
+        return splitCount;
+    }
+
+    // Returns the millis it took to match pair number i after the previous one
+    public synchronized long getLap(int i) {
+        if (i < 0 || i >= splitCount) {
+            throw new IndexOutOfBoundsException("lap " + i + " of " + splitCount);
+        }
+        return i == 0 ? splits[0] : splits[i] - splits[i - 1];
+    }
+
+    // Writes millis as "m:ss.mmm" into buf at offset and returns the end offset.
+    // Used by the display so repainting does not create Strings.
+    public static int format(long millis, char[] buf, int offset) {
+        long minutes = millis / 60000;
+        int rest = (int) (millis % 60000);
+        if (minutes == 0) {
+            buf[offset++] = '0';
+        } else {
+            int start = offset;
+            for (long m = minutes; m > 0; m /= 10) {
+                buf[offset++] = (char) ('0' + m % 10);
+            }
+            for (int i = start, j = offset - 1; i < j; i++, j--) {
+                char c = buf[i];
+                buf[i] = buf[j];
+                buf[j] = c;
+            }
+        }
+        buf[offset++] = ':';
+        buf[offset++] = (char) ('0' + rest / 10000);
+        buf[offset++] = (char) ('0' + rest / 1000 % 10);
+        buf[offset++] = '.';
+        buf[offset++] = (char) ('0' + rest / 100 % 10);
+        buf[offset++] = (char) ('0' + rest / 10 % 10);
+        buf[offset++] = (char) ('0' + rest % 10);
+        return offset;
+    }
+
+    // Formats millis as "m:ss.mmm" for dialogs and labels
+    public static String format(long millis) {
+        char[] buf = new char[32];
+        return new String(buf, 0, format(millis, buf, 0));
+    }
+}
@@ -0,0 +1,175 @@
+package game;
+
+import java.util.Arrays;
+
+// HintEngine.java - Keeps track of what the player has seen so hints can be answered instantly
+// Every flip updates a per-pair index, so a hint never has to rescan the board:
+//  - a pair whose two tiles have both been seen is "known" and is the best next pair,
+//  - a pair with only one tile seen is "half seen" and a hint can reveal its partner.
+class HintEngine {
+
+    // pairs[id][0..1]: the two tiles that share pair id
+    private Tile[][] pairs = new Tile[0][];
+    // seenMask[id]: bit 1 if pairs[id][0] was seen, bit 2 if pairs[id][1] was seen
+    private byte[] seenMask = new byte[0];
+    private boolean[] matched = new boolean[0];
+    private PairSet known = new PairSet(0);
+    private PairSet halfSeen = new PairSet(0);
+
+    // Indexes a new board; the only step that looks at every tile
+    public synchronized void reset(Tile[] tiles) {
+        int count = tiles.length / 2;
+        if (pairs.length != count) {
+            pairs = new Tile[count][2];
+            seenMask = new byte[count];
+            matched = new boolean[count];
+            known = new PairSet(count);
+            halfSeen = new PairSet(count);
+        } else {
+            Arrays.fill(seenMask, (byte) 0);
+            Arrays.fill(matched, false);
+            known.clear();
+            halfSeen.clear();
+        }
+        for (int i = 0; i < count; i++) {
+            pairs[i][0] = pairs[i][1] = null;
+        }
+        for (int i = 0; i < tiles.length; i++) {
+            Tile[] pair = pairs[tiles[i].pairId];
+            pair[pair[0] == null ? 0 : 1] = tiles[i];
+        }
+    }
+
+    // Returns the seenMask bit of a tile, or 0 if it is not on the indexed board.
+    // Tiles of the previous board can still be flipped or matched after reset().
+    private int bitOf(Tile tile) {
+        int id = tile.pairId;
+        if (id >= pairs.length) {
+            return 0;
+        }
+        return pairs[id][0] == tile ? 1 : pairs[id][1] == tile ? 2 : 0;
+    }
+
+    // Records that the player has seen the face of a tile
+    public synchronized void seen(Tile tile) {
+        int bit = bitOf(tile);
+        int id = tile.pairId;
+        if (bit == 0 || matched[id]) {
+            return;
+        }
+        if ((seenMask[id] & bit) != 0) {
+            return;
+        }
+        seenMask[id] |= bit;
+        if (seenMask[id] == 3) {
+            halfSeen.remove(id);
+            known.add(id);
+        } else {
+            halfSeen.add(id);
+        }
+    }
+
+    // Records that the pair of this tile has been found
+    public synchronized void matched(Tile tile) {
+        if (bitOf(tile) == 0) {
+            return;
+        }
+        int id = tile.pairId;
+        matched[id] = true;
+        known.remove(id);
+        halfSeen.remove(id);
+    }
+
+    // Returns the other tile of the same pair, or null if the tile is not on the indexed board
+    public synchronized Tile partnerOf(Tile tile) {
+        int bit = bitOf(tile);
+        if (bit == 0) {
+            return null;
+        }
+        Tile[] pair = pairs[tile.pairId];
+        return bit == 1 ? pair[1] : pair[0];
+    }
+
+    // Returns both tiles of a pair the player has already seen, or null
+    public synchronized Tile[] bestPair() {
+        if (known.isEmpty()) {
+            return null;
+        }
+        Tile[] pair = pairs[known.last()];
+        return new Tile[]{pair[0], pair[1]};
+    }
+
+    // Returns the unseen partner of a tile the player has seen once, or null
+    public synchronized Tile revealPartner() {
+        if (halfSeen.isEmpty()) {
+            return null;
+        }
+        int id = halfSeen.last();
+        return seenMask[id] == 1 ? pairs[id][1] : pairs[id][0];
+    }
+
+    /**
+     * Picks the cells to show for a hint. If a tile is currently face up its
+     * partner is shown, otherwise a known pair, otherwise the partner of a
+     * tile seen once. Returns null when the player has not seen anything yet.
+     */
+    public synchronized Tile[] next(Tile faceUp) {
+        Tile partner = faceUp == null ? null : partnerOf(faceUp);
+        if (partner != null && !matched[faceUp.pairId]) {
+            return new Tile[]{partner};
+        }
+        Tile[] pair = bestPair();
+        if (pair != null) {
+            return pair;
+        }
+        partner = revealPartner();
+        return partner == null ? null : new Tile[]{partner};
+    }
+
+    // Set of pair ids with constant time add, remove and pick
+    private static class PairSet {
+
+        private final int[] ids;
+        // pos[id]: index of id in ids, or -1 when absent
+        private final int[] pos;
+        private int size;
+
+        PairSet(int capacity) {
+            ids = new int[capacity];
+            pos = new int[capacity];
+            Arrays.fill(pos, -1);
+        }
+
+        void add(int id) {
+            if (pos[id] < 0) {
+                pos[id] = size;
+                ids[size++] = id;
+            }
+        }
+
+        void remove(int id) {
+            int p = pos[id];
+            if (p >= 0) {
+                int last = ids[--size];
+                ids[p] = last;
+                pos[last] = p;
+                pos[id] = -1;
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int last() {
+            return ids[size - 1];
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                pos[ids[i]] = -1;
+            }
+            size = 0;
+        }
+    }
+}
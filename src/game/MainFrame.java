@@ -21,11 +21,13 @@ import javax.swing.JOptionPane;
  */
 
 public class MainFrame extends javax.swing.JFrame implements ActionListener {
-    private javax.swing.JLabel timerLabel;
+    private ClockLabel timerLabel;
     private javax.swing.JLabel movesLabel;
     private javax.swing.Timer gameTimer;
-    private int elapsedSeconds = 0;
-    private int moves = 0;
+    GameClock clock = new GameClock();
+    long bestTimeMillis = -1; // fastest won game, -1 until one is timed
+    long bestLapMillis = -1; // fastest single pair in a won timed game
+    int moves = 0;
 
     /** Constructor initializes the main game window, icons, and game board. */
     public MainFrame() {
@@ -42,7 +44,7 @@ public class MainFrame extends javax.swing.JFrame implements ActionListener {
         score = 0;
         int x = 0;
         for (int i = 0; i < tiles.length; i++) {
-            tiles[i] = new Tile(icons[x], new ImageIcon(getClass().getResource("/images/logo.png")));
+            tiles[i] = new Tile(icons[x], new ImageIcon(getClass().getResource("/images/logo.png")), x);
             tiles[i].addActionListener(this);
             gamePanel.add(tiles[i]);
             if ((i + 1) % 2 == 0) {
@@ -50,6 +52,7 @@ public class MainFrame extends javax.swing.JFrame implements ActionListener {
             }
         }
         title.setText("Score: " + score);
+        hints.reset(tiles);
         shuffle();
 
     }
@@ -72,31 +75,39 @@ public class MainFrame extends javax.swing.JFrame implements ActionListener {
         return new ImageIcon(img);
     }
 
-     /** Shows all tiles briefly as a hint when the user clicks Help. */
-    private void showHelp() {
-        //if tiles[0] would be null than all the tiles would be null here
-        if (tiles[0] != null) {
-            for (int i = 0; i < tiles.length; i++) {
-                if (!tiles[i].isNoIcon()) {
-                    tiles[i].showTile();
-                    tiles[i].removeActionListener(this);
-                }
+     /**
+      * Shows and highlights only the tiles the hint engine picks when the user clicks Help.
+      * Runs on the EDT, like hideHint.
+      * Returns the revealed tiles, or null if there is nothing to hint yet.
+      */
+    private Tile[] showHint() {
+        // no hint while a pair is being checked, its tiles are about to change
+        if (status == 2) {
+            return null;
+        }
+        Tile[] hint = hints.next(status == 1 ? predict1 : null);
+        if (hint != null) {
+            for (Tile tile : hint) {
+                tile.removeActionListener(this);
+                tile.showTile();
+                tile.setHighlighted(true);
+                hints.seen(tile);
             }
-            score -= 50; // penalty for using help
+            score -= HINT_PENALTY;
             title.setText("Score: " + score);
         }
+        return hint;
     }
 
-     /** Hides all tiles again after showing help. */
-    private void hideHelp() {
-
-        for (int i = 0; i < tiles.length; i++) {
-            if (!tiles[i].isNoIcon()) {
-                tiles[i].hideTile();
-                tiles[i].addActionListener(this);
+     /** Hides the hinted tiles again. */
+    private void hideHint(Tile[] hint) {
+        for (Tile tile : hint) {
+            tile.setHighlighted(false);
+            if (!tile.isNoIcon()) {
+                tile.hideTile();
+                tile.addActionListener(this);
             }
         }
-
     }
 
     /**
@@ -154,6 +165,30 @@ public class MainFrame extends javax.swing.JFrame implements ActionListener {
                     
                     // Play win/lose sound and restart the game
                     if (won) {
+                        // Boards started with PLAY or LOAD are timed, and so is every
+                        // board dealt after winning a timed one; the first board is not
+                        boolean timed = clock.isRunning();
+                        clock.stop();
+                        gameTimer.stop();
+                        timerLabel.repaint();
+                        long time = clock.elapsedMillis();
+                        // fastest and slowest pair from the splits of this game
+                        long fastest = -1, slowest = -1;
+                        for (int i = 0; i < clock.getSplitCount(); i++) {
+                            long lap = clock.getLap(i);
+                            if (fastest < 0 || lap < fastest) {
+                                fastest = lap;
+                            }
+                            slowest = Math.max(slowest, lap);
+                        }
+                        String result = "";
+                        if (timed) {
+                            result = "\nTime: " + GameClock.format(time);
+                            if (fastest >= 0) {
+                                result += "\nFastest pair: " + GameClock.format(fastest)
+                                        + "  Slowest pair: " + GameClock.format(slowest);
+                            }
+                        }
                         if (score > 0) {
                             new Thread() {
                                 @Override
@@ -166,10 +201,17 @@ public class MainFrame extends javax.swing.JFrame implements ActionListener {
                                     }
                                 }
                             }.start();
-                            JOptionPane.showMessageDialog(gamePanel, "You Won! Your Score is " + score);
+                            JOptionPane.showMessageDialog(gamePanel, "You Won! Your Score is " + score + result);
                               if (score > highScore) {
                                 highScore = score;
-                                highScoreLabel.setText("High Score: " + highScore);
+                            }
+                            if (timed && (bestTimeMillis < 0 || time < bestTimeMillis)) {
+                                bestTimeMillis = time;
+                            }
+                            if (timed && fastest >= 0 && (bestLapMillis < 0 || fastest < bestLapMillis)) {
+                                bestLapMillis = fastest;
+                            }
+                            updateHighScoreLabel();
                         } else {
                             new Thread() {
                                 @Override
@@ -182,10 +224,14 @@ public class MainFrame extends javax.swing.JFrame implements ActionListener {
                                     }
                                 }
                             }.start();
-                            JOptionPane.showMessageDialog(gamePanel, "You Loose! Your Score is " + score);
+                            JOptionPane.showMessageDialog(gamePanel, "You Loose! Your Score is " + score + result);
                     
                         }
                         initGame(); // Restart Game
+                        if (timed) {
+                            clock.start();
+                            gameTimer.start();
+                        }
                     }
                 }
             }.start();
@@ -193,7 +239,9 @@ public class MainFrame extends javax.swing.JFrame implements ActionListener {
             // Remove event listeners from matched tiles
             predict1.removeActionListener(this);
             predict2.removeActionListener(this);
+            hints.matched(predict1);
             score += 100;
+            clock.split();
             title.setText("Score: " + score);
 
         } else { // Mismatch
@@ -287,7 +335,7 @@ public class MainFrame extends javax.swing.JFrame implements ActionListener {
         help.setForeground(new java.awt.Color(255, 255, 255));
         help.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         help.setText("?");
-        help.setToolTipText("Right click to hide controls and Left click to see Images");
+        help.setToolTipText("Right click to hide controls and Left click for a hint");
         help.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
         help.setPreferredSize(new java.awt.Dimension(25, 25));
         help.addMouseListener(new java.awt.event.MouseAdapter() {
@@ -347,24 +395,44 @@ public class MainFrame extends javax.swing.JFrame implements ActionListener {
 
 // 🕒 Timer and Moves Labels
 private void setupTimerAndMoves() {
-    timerLabel = new javax.swing.JLabel("Time: 0s");
+    timerLabel = new ClockLabel(clock);
     movesLabel = new javax.swing.JLabel("Moves: 0");
-    timerLabel.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
     movesLabel.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
     timerLabel.setForeground(java.awt.Color.WHITE);
+    timerLabel.setFont(movesLabel.getFont());
     movesLabel.setForeground(java.awt.Color.WHITE);
-    titlePanel.add(timerLabel, java.awt.BorderLayout.WEST);
-    titlePanel.add(movesLabel, java.awt.BorderLayout.EAST);
 
-    gameTimer = new javax.swing.Timer(1000, new java.awt.event.ActionListener() {
+    // WEST/EAST are hidden behind the help and close labels (LINE_START/LINE_END),
+    // so time and moves share the bottom row with the high score
+    javax.swing.JPanel statsPanel = new javax.swing.JPanel(new java.awt.GridLayout(1, 3));
+    statsPanel.setOpaque(false);
+    titlePanel.remove(highScoreLabel);
+    statsPanel.add(timerLabel);
+    statsPanel.add(movesLabel);
+    statsPanel.add(highScoreLabel);
+    titlePanel.add(statsPanel, java.awt.BorderLayout.SOUTH);
+
+    // The clock keeps its own time; this only repaints it at about 60 fps
+    gameTimer = new javax.swing.Timer(16, new java.awt.event.ActionListener() {
         @Override
         public void actionPerformed(java.awt.event.ActionEvent e) {
-            elapsedSeconds++;
-            timerLabel.setText("Time: " + elapsedSeconds + "s");
+            timerLabel.repaint();
         }
     });
 }
 
+/** Shows the high score and, once a timed game is won, the best time and fastest pair. */
+private void updateHighScoreLabel() {
+    String text = "High Score: " + highScore;
+    if (bestTimeMillis >= 0) {
+        text += "  Best: " + GameClock.format(bestTimeMillis);
+    }
+    highScoreLabel.setText(text);
+    if (bestLapMillis >= 0) {
+        highScoreLabel.setToolTipText("Fastest pair: " + GameClock.format(bestLapMillis));
+    }
+}
+
      /** Handles window close event when user clicks 'X'. */
     private void closeMouseClicked(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_closeMouseClicked
         if (evt.getButton() == MouseEvent.BUTTON1) {
@@ -375,26 +443,28 @@ private void setupTimerAndMoves() {
     
     /**
      * Handles help button clicks:
-     *  - Left click shows all tiles temporarily.
+     *  - Left click shows a hint (one pair or one partner) temporarily.
      *  - Right click toggles control panel visibility.
      */
     private void helpMouseClicked(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_helpMouseClicked
         if (evt.getButton() == MouseEvent.BUTTON1) {
             if (!helping) {
-                new Thread() {
-                    @Override
-                    public void run() {
-                        try {
-                            helping = true;
-                            showHelp();
-                            Thread.sleep(10000);
-                            hideHelp();
+                final Tile[] hint = showHint();
+                if (hint != null) {
+                    helping = true;
+                    clock.pause(); // reveal time does not count
+                    // one-shot Swing timer so the tiles are restored on the EDT
+                    javax.swing.Timer hideTimer = new javax.swing.Timer(HINT_MILLIS, new ActionListener() {
+                        @Override
+                        public void actionPerformed(ActionEvent e) {
+                            hideHint(hint);
+                            clock.resume();
                             helping = false;
-                        } catch (InterruptedException ex) {
-                            System.out.println(ex);
                         }
-                    }
-                }.start();
+                    });
+                    hideTimer.setRepeats(false);
+                    hideTimer.start();
+                }
             }
         }
         if (evt.getButton() == MouseEvent.BUTTON3) {
@@ -436,6 +506,8 @@ private void setupTimerAndMoves() {
                     icons[i] = createIcon(new ImageIcon(file[i].toString()).getImage());
                 }
                 initGame();
+                clock.start(); // new board, time it from zero like PLAY
+                gameTimer.start();
             } else {
                 JOptionPane.showMessageDialog(gamePanel, "Please select 18 Files !");
             }
@@ -444,12 +516,11 @@ private void setupTimerAndMoves() {
 
     /** Starts a new game when Play button is clicked. */
     private void playActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_playActionPerformed
-        elapsedSeconds = 0; // reset timer
     moves = 0; // reset moves
-    timerLabel.setText("Time: 0s");
     movesLabel.setText("Moves: 0");
-    gameTimer.start(); // ✅ start timer
         initGame();
+        clock.start(); // ✅ start timer
+        gameTimer.start();
     }//GEN-LAST:event_playActionPerformed
 
     /** Lets the user drag the window by the title bar. */
@@ -480,11 +551,6 @@ private void setupTimerAndMoves() {
       controlPanel.add(exit);
 }
 
-// ⬇️ This is already in your file — leave it as is
-public static void main(String args[]) {
-    /* Set the Nimbus look and feel */
-    ...
-}
 
     
     public static void main(String args[]) {
@@ -533,6 +599,9 @@ public static void main(String args[]) {
     int status, score;
     Tile predict1, predict2;
     private boolean won, helping;
+    HintEngine hints = new HintEngine();
+    private static final int HINT_PENALTY = 20;
+    private static final int HINT_MILLIS = 2000;
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JLabel close;
     private javax.swing.JPanel controlPanel;
@@ -546,13 +615,19 @@ public static void main(String args[]) {
 
     @Override
     public void actionPerformed(ActionEvent e) {
+        // the clock is paused while a hint shows, so the board takes no clicks either
+        if (helping) {
+            return;
+        }
         if (status == 0) {
             predict1 = (Tile) e.getSource();
             predict1.showTile();
+            hints.seen(predict1);
             status++;
         } else if (status == 1) {
             status++;
             predict2 = (Tile) e.getSource();
+            hints.seen(predict2);
             moves++; // ✅ increment moves
         movesLabel.setText("Moves: " + moves); // ✅ update label on screen
             new Thread() {
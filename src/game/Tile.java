@@ -1,7 +1,10 @@
 package game;
 
+import java.awt.Color;
+import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.border.Border;
 
 // Tile.java - Represents one card/tile in the matching game
 // Each tile can display two possible images: one when hidden and one when revealed.
@@ -16,10 +19,18 @@ class Tile extends JButton {
     // noIcon: true if the tile has been removed from the board
     private boolean hidden, noIcon;
 
+    // pairId: shared by the two tiles that match each other
+    final int pairId;
+
+    // Border shown while the tile is part of a hint, and the one it replaced
+    private static final Border HINT_BORDER = BorderFactory.createLineBorder(Color.YELLOW, 3);
+    private Border normalBorder;
+
     // Constructor initializes the tile with two images: front and back
-    public Tile(ImageIcon icon1, ImageIcon icon2) {
+    public Tile(ImageIcon icon1, ImageIcon icon2, int pairId) {
         this.icon1 = icon1;
         this.icon2 = icon2;
+        this.pairId = pairId;
         setSize(100, 100);
         setFocusable(false); // prevnts the button from stealing keyboard focus
     }
@@ -42,6 +53,17 @@ class Tile extends JButton {
         noIcon = true;
     }
 
+    // Marks the tile as part of a hint, or restores its normal border (EDT only)
+    public void setHighlighted(boolean highlighted) {
+        if (highlighted && normalBorder == null) {
+            normalBorder = getBorder();
+            setBorder(HINT_BORDER);
+        } else if (!highlighted && normalBorder != null) {
+            setBorder(normalBorder);
+            normalBorder = null;
+        }
+    }
+
     // Returns the front image of the tile for comparison
     public ImageIcon getImage() {
         return icon1;
@@ -0,0 +1,373 @@
+package game;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowEvent;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+import javax.swing.JComponent;
+import javax.swing.JDialog;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+
+/**
+ * LoadTester.java - Stress harness that drives a MainFrame with scripted click storms.
+ *
+ * Clicks are generated from a seeded schedule and delivered on the EDT as
+ * ActionEvents to the tiles' listeners, the same way a real button press is.
+ * While the storm runs the harness checks that:
+ *  - matched tiles stay matched and never get their listener back,
+ *  - the score agrees with the moves and pairs on the current board,
+ *  - the win dialog opens exactly once for every cleared board, and never otherwise.
+ * At the end it reports throughput over the bursts, how long each taken click
+ * took to get its tile repainted, and thread usage.
+ *
+ * Lives with the tests so it is not shipped in the jar. Needs a display, e.g.:
+ *   xvfb-run java -cp build/classes:build/test/classes game.LoadTester [seed] [clicksPerSecond] [seconds]
+ */
+public class LoadTester {
+
+    // Time the storm is held back before the score is checked, long enough
+    // for the reveal, check() and the match animation threads to finish.
+    private static final long QUIET_MILLIS = 2000;
+    // How long the storm runs between two score checks
+    private static final long BURST_NANOS = 3000000000L;
+    // Chance that a second click is aimed at the partner of the first one
+    private static final double PARTNER_CHANCE = 0.3;
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    private final long seed;
+    private final int clicksPerSecond;
+    private final int seconds;
+    private MainFrame frame;
+
+    // Written by the driver thread only
+    private long posted, quietNanos;
+
+    // Everything below is only touched on the EDT
+    private long dispatched, boardMoves;
+    private Tile countedBoard;
+    private final Set<Tile> matched = new HashSet<Tile>();
+    private final Set<Tile> wonBoards = new HashSet<Tile>();
+    private int winDialogs;
+    private long[] latencies = new long[1024];
+    private int latencyCount;
+
+    // Clicks whose tile has not been painted since; tiles are repainted from
+    // the game's own threads too, so these are guarded by pendingLock
+    private final Object pendingLock = new Object();
+    private Tile[] pendingTile = new Tile[64];
+    private long[] pendingPost = new long[64];
+    private boolean[] pendingDirty = new boolean[64];
+    private int pendingCount;
+
+    private final List<String> violations = new ArrayList<String>();
+    private int violationCount;
+
+    public LoadTester(long seed, int clicksPerSecond, int seconds) {
+        this.seed = seed;
+        this.clicksPerSecond = clicksPerSecond;
+        this.seconds = seconds;
+    }
+
+    /** Records a broken invariant; only the first few are kept for the report. */
+    private synchronized void violation(String message) {
+        violationCount++;
+        if (violations.size() < MAX_REPORTED_VIOLATIONS) {
+            violations.add(message);
+        }
+    }
+
+    /** Creates the game window and installs the repaint and dialog hooks. */
+    private void start() throws Exception {
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                RepaintManager.setCurrentManager(new LatencyRepaintManager());
+                frame = new MainFrame();
+                frame.setVisible(true);
+            }
+        });
+        Toolkit.getDefaultToolkit().addAWTEventListener(new AWTEventListener() {
+            @Override
+            public void eventDispatched(AWTEvent event) {
+                if (event.getID() == WindowEvent.WINDOW_OPENED && event.getSource() instanceof JDialog) {
+                    winDialogOpened((JDialog) event.getSource());
+                }
+            }
+        }, AWTEvent.WINDOW_EVENT_MASK);
+    }
+
+    /** Checks the win dialog against the board and closes it so the game can restart. */
+    private void winDialogOpened(final JDialog dialog) {
+        winDialogs++;
+        Tile board = frame.tiles[0];
+        for (int i = 0; i < frame.tiles.length; i++) {
+            if (!frame.tiles[i].isNoIcon()) {
+                violation("win dialog opened with tile " + i + " still on the board");
+                break;
+            }
+        }
+        if (!wonBoards.add(board)) {
+            violation("win dialog opened more than once for the same board");
+        }
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                dialog.dispose();
+            }
+        });
+    }
+
+    /** Posts clicks at the requested rate, pausing between bursts to check the score. */
+    private void drive() throws Exception {
+        Random rnd = new Random(seed);
+        double meanGap = 1e9 / clicksPerSecond;
+        long end = System.nanoTime() + seconds * 1000000000L;
+        long next = System.nanoTime();
+        long burstEnd = next + BURST_NANOS;
+        while (next < end) {
+            // Exponential gaps give bursts and lulls around the mean rate
+            next += (long) (-Math.log(1 - rnd.nextDouble()) * meanGap);
+            final int index = rnd.nextInt(frame.tiles.length);
+            final boolean partner = rnd.nextDouble() < PARTNER_CHANCE;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            final long postTime = System.nanoTime();
+            EventQueue.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    click(index, partner, postTime);
+                }
+            });
+            posted++;
+            if (next > burstEnd) {
+                quiet();
+                next = System.nanoTime();
+                burstEnd = next + BURST_NANOS;
+            }
+        }
+        quiet();
+    }
+
+    /** Holds the storm back, checks the score, and keeps that time out of the click rate. */
+    private void quiet() throws Exception {
+        long begin = System.nanoTime();
+        Thread.sleep(QUIET_MILLIS);
+        checkScore();
+        quietNanos += System.nanoTime() - begin;
+    }
+
+    /** Delivers one click to a tile and checks the board afterwards. Runs on the EDT. */
+    private void click(int index, boolean partner, long postTime) {
+        Tile tile = frame.tiles[index];
+        if (partner && frame.status == 1 && frame.predict1 != null) {
+            Tile other = frame.hints.partnerOf(frame.predict1);
+            if (other != null) {
+                tile = other;
+            }
+        }
+        if (frame.tiles[0] != countedBoard) {
+            countedBoard = frame.tiles[0];
+            boardMoves = 0;
+        }
+        int before = frame.moves;
+        int statusBefore = frame.status;
+        // A click that is taken flips its tile face up: on the EDT for the first
+        // click, on the thread actionPerformed starts for the second. Clicking the
+        // tile that is already face up changes nothing on screen, so skip it.
+        boolean sampled = statusBefore < 2 && !(statusBefore == 1 && tile == frame.predict1);
+        if (sampled) {
+            addPending(tile, postTime);
+        }
+        ActionEvent event = new ActionEvent(tile, ActionEvent.ACTION_PERFORMED, tile.getActionCommand());
+        for (ActionListener listener : tile.getActionListeners()) {
+            listener.actionPerformed(event);
+        }
+        dispatched++;
+        boardMoves += frame.moves - before;
+        if (sampled && frame.status == statusBefore) {
+            // the click was ignored, so its tile will not repaint for it
+            synchronized (pendingLock) {
+                pendingCount--;
+            }
+        }
+        checkMatched();
+    }
+
+    /** Waits for the next paint of a tile to time the click that targeted it. */
+    private void addPending(Tile tile, long postTime) {
+        synchronized (pendingLock) {
+            if (pendingCount == pendingTile.length) {
+                pendingTile = Arrays.copyOf(pendingTile, pendingCount * 2);
+                pendingPost = Arrays.copyOf(pendingPost, pendingCount * 2);
+                pendingDirty = Arrays.copyOf(pendingDirty, pendingCount * 2);
+            }
+            pendingTile[pendingCount] = tile;
+            pendingPost[pendingCount] = postTime;
+            pendingDirty[pendingCount] = false;
+            pendingCount++;
+        }
+    }
+
+    /** Matched tiles must stay face-less and must not listen for clicks again. */
+    private void checkMatched() {
+        for (int i = 0; i < frame.tiles.length; i++) {
+            Tile tile = frame.tiles[i];
+            if (tile.isNoIcon()) {
+                matched.add(tile);
+                if (Arrays.asList(tile.getActionListeners()).contains(frame)) {
+                    violation("matched tile " + i + " is still clickable");
+                }
+            } else if (matched.contains(tile)) {
+                violation("matched tile " + i + " came back on the board");
+            }
+        }
+    }
+
+    /** Compares the score with the moves and pairs seen on the current board. */
+    private void checkScore() throws Exception {
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                // status 1 just means one tile is face up and waiting for a second click;
+                // only a pair still being checked means the game has not settled
+                if (frame.status == 2) {
+                    violation("game still busy after " + QUIET_MILLIS + "ms without input");
+                    return;
+                }
+                long movesOnBoard = frame.tiles[0] == countedBoard ? boardMoves : 0;
+                int pairs = 0;
+                for (int i = 0; i < frame.tiles.length; i++) {
+                    if (frame.tiles[i].isNoIcon()) {
+                        pairs++;
+                    }
+                }
+                if (pairs == frame.tiles.length && frame.status == 0 && !wonBoards.contains(frame.tiles[0])) {
+                    violation("board cleared but the win dialog never opened");
+                }
+                pairs /= 2;
+                long expected = 100L * pairs - 10L * (movesOnBoard - pairs);
+                if (frame.score != expected) {
+                    violation("score " + frame.score + " but " + pairs + " pairs in "
+                            + movesOnBoard + " moves should give " + expected);
+                }
+            }
+        });
+    }
+
+    /** Prints the results and returns the number of broken invariants. */
+    private int report(long elapsedNanos, long threadsStarted, int peakThreads) throws Exception {
+        final long[] clicks = new long[1];
+        final long[][] samples = new long[1][];
+        final int[] wins = new int[1];
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                clicks[0] = dispatched;
+                samples[0] = Arrays.copyOf(latencies, latencyCount);
+                wins[0] = winDialogs;
+            }
+        });
+        long[] lat = samples[0];
+        Arrays.sort(lat);
+        double burstSecs = (elapsedNanos - quietNanos) / 1e9;
+        System.out.println("Seed " + seed + ", target " + clicksPerSecond + " clicks/s for " + seconds + "s");
+        System.out.printf("Clicks posted: %d (%.0f/s during bursts, %.1fs quiet excluded), dispatched: %d%n",
+                posted, posted / burstSecs, quietNanos / 1e9, clicks[0]);
+        System.out.println("Win dialogs: " + wins[0]);
+        if (lat.length > 0) {
+            System.out.printf("Click-to-repaint latency of flipped tiles: p50 %.2fms, p99 %.2fms, max %.2fms (%d samples)%n",
+                    lat[lat.length / 2] / 1e6, lat[(int) (lat.length * 0.99)] / 1e6, lat[lat.length - 1] / 1e6, lat.length);
+        } else {
+            System.out.println("Click-to-repaint latency: no flipping clicks");
+        }
+        System.out.println("Threads started: " + threadsStarted + ", peak live: " + peakThreads);
+        synchronized (this) {
+            System.out.println("Invariant violations: " + violationCount);
+            for (String v : violations) {
+                System.out.println("  - " + v);
+            }
+            return violationCount;
+        }
+    }
+
+    /**
+     * Repaint manager that notices when the tile of a pending click is marked
+     * dirty, from whichever thread, and once the next paint pass is done
+     * records how long ago that click was posted.
+     */
+    private class LatencyRepaintManager extends RepaintManager {
+
+        @Override
+        public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+            if (c instanceof Tile) {
+                synchronized (pendingLock) {
+                    for (int i = 0; i < pendingCount; i++) {
+                        if (pendingTile[i] == c) {
+                            pendingDirty[i] = true;
+                        }
+                    }
+                }
+            }
+            super.addDirtyRegion(c, x, y, w, h);
+        }
+
+        @Override
+        public void paintDirtyRegions() {
+            super.paintDirtyRegions();
+            long now = System.nanoTime();
+            synchronized (pendingLock) {
+                int kept = 0;
+                for (int i = 0; i < pendingCount; i++) {
+                    if (!pendingDirty[i]) {
+                        pendingTile[kept] = pendingTile[i];
+                        pendingPost[kept] = pendingPost[i];
+                        pendingDirty[kept] = false;
+                        kept++;
+                    } else {
+                        if (latencyCount == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, latencyCount * 2);
+                        }
+                        latencies[latencyCount++] = now - pendingPost[i];
+                    }
+                }
+                for (int i = kept; i < pendingCount; i++) {
+                    pendingTile[i] = null;
+                }
+                pendingCount = kept;
+            }
+        }
+    }
+
+    public static void main(String args[]) throws Exception {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 1;
+        int rate = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        LoadTester tester = new LoadTester(seed, rate, seconds);
+        tester.start();
+        long startedBefore = threads.getTotalStartedThreadCount();
+        threads.resetPeakThreadCount();
+        long begin = System.nanoTime();
+        tester.drive();
+        long elapsed = System.nanoTime() - begin;
+        int failures = tester.report(elapsed, threads.getTotalStartedThreadCount() - startedBefore,
+                threads.getPeakThreadCount());
+        System.exit(failures == 0 ? 0 : 1);
+    }
+}